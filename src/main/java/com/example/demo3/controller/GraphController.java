@@ -2,6 +2,7 @@
 package com.example.demo3.controller;
 
 import com.example.demo3.service.GraphService;
+import com.example.demo3.utils.ConfigurationScopes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -12,6 +13,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 
 @Controller
@@ -35,10 +37,54 @@ public class GraphController {
         }
     }
 
+    @PostMapping("/generate-multiple")
+    public ResponseEntity<String> generateGraphFromFiles(@RequestParam("files") List<MultipartFile> files) {
+        if (files.isEmpty() || files.stream().allMatch(MultipartFile::isEmpty)) {
+            return ResponseEntity.badRequest().body("Please select at least one file to upload.");
+        }
+        try {
+            List<String> svgGraphs = graphService.generateGraphFromFiles(files.stream().filter(file -> !file.isEmpty()).toList());
+            return ResponseEntity.ok().header(HttpHeaders.CONTENT_TYPE, "image/svg+xml").body(String.join("\n", svgGraphs));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while processing the files.");
+        }
+    }
+
+    @PostMapping("/api/watch/start")
+    public ResponseEntity<String> startWatching(@RequestParam("path") String path) {
+        try {
+            graphService.startWatching(path);
+            return ResponseEntity.accepted().body("Watching " + path);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return ResponseEntity.badRequest().body("Unable to watch " + path + ": " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/api/stream/append")
+    public ResponseEntity<String> appendToStream(@RequestBody String text) {
+        graphService.appendToStream(text);
+        return ResponseEntity.accepted().body("Appended");
+    }
+
+    @PostMapping({"/api/watch/stop", "/api/stream/finish"})
+    public ResponseEntity<String> stopLiveIngest() {
+        graphService.stopLiveIngest();
+        return ResponseEntity.ok("Stopped");
+    }
+
+    @GetMapping("/api/watch/status")
+    public ResponseEntity<Map<String, Object>> getWatchStatus() {
+        return ResponseEntity.ok(graphService.getWatchStatus());
+    }
+
     @GetMapping("/api/title-nodes")
-    public ResponseEntity<String> getTitleNodes() {
+    public ResponseEntity<String> getTitleNodes(@ModelAttribute ViewParameters viewParameters) {
         try {
-            String titleNodes = graphService.getTitleNodes();
+            String titleNodes = graphService.getTitleNodes(viewOf(viewParameters));
             return ResponseEntity.ok().header(HttpHeaders.CONTENT_TYPE, "image/svg+xml").body(titleNodes);
         } catch (Exception e) {
             e.printStackTrace();
@@ -48,9 +94,9 @@ public class GraphController {
 
 
     @GetMapping("/api/graph")
-    public ResponseEntity<String> getGraphData(@RequestParam(value = "focusNode", required = false) String focusNode) {
+    public ResponseEntity<String> getGraphData(@RequestParam(value = "focusNode", required = false) String focusNode, @ModelAttribute ViewParameters viewParameters) {
         try {
-            String graphData = graphService.getGraphDataWithFocus(focusNode);
+            String graphData = graphService.getGraphDataWithFocus(focusNode, viewOf(viewParameters));
             if (graphData == null || graphData.trim().isEmpty()) {
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error generating graph data");
             }
@@ -62,9 +108,9 @@ public class GraphController {
     }
 
     @GetMapping("/api/search")
-    public ResponseEntity<String> searchGraph(@RequestParam("term") String term) {
+    public ResponseEntity<String> searchGraph(@RequestParam("term") String term, @ModelAttribute ViewParameters viewParameters) {
         try {
-            String graphData = graphService.getGraphDataForSearch(term);
+            String graphData = graphService.getGraphDataForSearch(term, viewOf(viewParameters));
             return ResponseEntity.ok().header(HttpHeaders.CONTENT_TYPE, "image/svg+xml").body(graphData);
         } catch (Exception e) {
             e.printStackTrace();
@@ -73,9 +119,9 @@ public class GraphController {
     }
 
     @GetMapping("/api/autocomplete")
-    public ResponseEntity<List<String>> getAutocompleteSuggestions(@RequestParam("term") String term) {
+    public ResponseEntity<List<String>> getAutocompleteSuggestions(@RequestParam("term") String term, @ModelAttribute ViewParameters viewParameters) {
         try {
-            List<String> suggestions = graphService.getAutocompleteSuggestions(term);
+            List<String> suggestions = graphService.getAutocompleteSuggestions(term, viewOf(viewParameters));
             return ResponseEntity.ok(suggestions);
         } catch (Exception e) {
             e.printStackTrace();
@@ -85,25 +131,49 @@ public class GraphController {
 
 
     @GetMapping("/api/children")
-    public ResponseEntity<List<String>> getChildren(@RequestParam String title, @RequestParam(required = false) String project) {
+    public ResponseEntity<List<String>> getChildren(@RequestParam String title, @RequestParam(required = false) String project, @ModelAttribute ViewParameters viewParameters) {
         System.out.println("Backend received request for children of: " + title + " in project: " + (project != null ? project : "all projects"));
-        List<String> children = graphService.getChildrenForNode(title, project);
+        List<String> children = graphService.getChildrenForNode(title, project, viewOf(viewParameters));
         System.out.println("Backend returning children: " + children);
         return ResponseEntity.ok(children);
     }
 
     @GetMapping("/api/circular-dependencies")
-    public ResponseEntity<List<String>> getCircularDependencies() {
-        List<String> titleNodes = graphService.getTitleNodesWithCircularDependencies();
+    public ResponseEntity<List<String>> getCircularDependencies(@ModelAttribute ViewParameters viewParameters) {
+        List<String> titleNodes = graphService.getTitleNodesWithCircularDependencies(viewOf(viewParameters));
         return ResponseEntity.ok(titleNodes);
     }
 
 
     @GetMapping("/api/title-nodes-for-dependency")
-    public ResponseEntity<List<String>> getTitleNodesForDependency(@RequestParam("dependency") String dependency) {
-        List<String> titleNodes = graphService.getTitleNodesForDependency(dependency);
+    public ResponseEntity<List<String>> getTitleNodesForDependency(@RequestParam("dependency") String dependency, @ModelAttribute ViewParameters viewParameters) {
+        List<String> titleNodes = graphService.getTitleNodesForDependency(dependency, viewOf(viewParameters));
         return ResponseEntity.ok(titleNodes);
     }
 
+    @GetMapping("/api/transitive-dependents")
+    public ResponseEntity<List<String>> getTransitiveDependents(@RequestParam("dependency") String dependency,
+                                                                @RequestParam(value = "versionRange", required = false) String versionRange,
+                                                                @ModelAttribute ViewParameters viewParameters) {
+        try {
+            return ResponseEntity.ok(graphService.getTransitiveDependents(dependency, versionRange, viewOf(viewParameters)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    @GetMapping("/api/transitive-dependencies")
+    public ResponseEntity<List<String>> getTransitiveDependencies(@RequestParam("title") String title,
+                                                                  @RequestParam(value = "versionRange", required = false) String versionRange,
+                                                                  @ModelAttribute ViewParameters viewParameters) {
+        try {
+            return ResponseEntity.ok(graphService.getTransitiveDependencies(title, versionRange, viewOf(viewParameters)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
 
-}
\ No newline at end of file
+    private ConfigurationScopes.View viewOf(ViewParameters viewParameters) {
+        return graphService.viewFor(viewParameters.getConfigurations(), viewParameters.isExcludeConstraints());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo3.controller;
+
+// The "configurations" and "excludeConstraints" query parameters taken by every graph and query endpoint
+public class ViewParameters {
+    private String configurations;
+    private boolean excludeConstraints;
+
+    public String getConfigurations() {
+        return configurations;
+    }
+
+    public void setConfigurations(String configurations) {
+        this.configurations = configurations;
+    }
+
+    public boolean isExcludeConstraints() {
+        return excludeConstraints;
+    }
+
+    public void setExcludeConstraints(boolean excludeConstraints) {
+        this.excludeConstraints = excludeConstraints;
+    }
+}
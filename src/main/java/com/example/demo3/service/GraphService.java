@@ -1,6 +1,10 @@
 package com.example.demo3.service;
 
+import com.example.demo3.utils.ConfigurationScopes;
+import com.example.demo3.utils.DependencyInterner;
 import com.example.demo3.utils.DependencyParser;
+import com.example.demo3.utils.ReachabilityIndex;
+import com.example.demo3.utils.ResolvedVersions;
 import guru.nidi.graphviz.attribute.Color;
 import guru.nidi.graphviz.attribute.Label;
 import guru.nidi.graphviz.attribute.Shape;
@@ -9,13 +13,26 @@ import guru.nidi.graphviz.engine.Graphviz;
 import guru.nidi.graphviz.engine.GraphvizCmdLineEngine;
 import guru.nidi.graphviz.model.MutableGraph;
 import guru.nidi.graphviz.model.MutableNode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -25,26 +42,295 @@ import static guru.nidi.graphviz.model.Factory.mutNode;
 @Service
 public class GraphService {
 
-    private List<Map<String, Map<String, List<String>>>> allChunks;
-    private final Map<String, DependencyParser.DependencyDetails> dependencyDetailsMap = new HashMap<>();
-    private final Set<String> circularEdges = new HashSet<>();
+    private volatile List<Map<String, Map<String, List<String>>>> allChunks;
+    private final Map<String, DependencyParser.DependencyDetails> dependencyDetailsMap = new ConcurrentHashMap<>();
+    private final Set<String> circularEdges = ConcurrentHashMap.newKeySet();
+    private final Set<String> searchIndex = ConcurrentHashMap.newKeySet();
+    private final Map<String, CopyOnWriteArrayList<String>> titlesByNode = new ConcurrentHashMap<>();
+    private volatile ReachabilityIndex reachabilityIndex;
+    private volatile ConfigurationScopes scopes = new ConfigurationScopes();
+    private volatile ResolvedVersions resolvedVersions = new ResolvedVersions();
+    private Map<String, List<String>> dependencyGraph = new HashMap<>();
+
+    // Live ingestion: a log that is still being written is parsed section by section and published as it completes
+    private final ScheduledExecutorService watchExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dependency-log-watch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    @Value("${dependency.watch-directory:./watch}")
+    private String watchDirectory;
+    private ScheduledFuture<?> watchTask;
+    private DependencyParser liveParser;
+    private long watchOffset;
+    private Path watchedPath;
+    private String watchError;
 
 
 
     public List<String> generateGraphFromFile(MultipartFile file) throws IOException {
-        Path path = Paths.get(file.getOriginalFilename());
-        file.transferTo(path);
-        allChunks = DependencyParser.parseDependencies(path.toString(), 1000);
-        populateDependencyDetailsMap(allChunks);
+        Path path = saveUpload(file);
+        stopLiveIngest();
+        ConfigurationScopes fileScopes = new ConfigurationScopes();
+        ResolvedVersions fileVersions = new ResolvedVersions();
+        List<Map<String, Map<String, List<String>>>> chunks;
+        try {
+            chunks = DependencyParser.parseDependencies(path.toString(), 1000, null, new DependencyInterner(), fileScopes, fileVersions);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        resetIndexes(fileScopes, fileVersions);
+        allChunks = chunks;
+        indexChunks(allChunks);
         detectCircularDependencies();
-        return generateGraphs(allChunks, null);
+        reachabilityIndex = ReachabilityIndex.build(allChunks, resolvedVersions);
+        return generateGraphs(allChunks, null, scopes.view(null, false));
+    }
+
+    public List<String> generateGraphFromFiles(List<MultipartFile> files) throws IOException {
+        stopLiveIngest();
+        // Uploads go to temp files so same-named logs cannot overwrite each other
+        List<Path> paths = new ArrayList<>();
+        List<String> fileNames = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                paths.add(saveUpload(file));
+                fileNames.add(file.getOriginalFilename());
+            }
+            return mergeUploads(paths, DependencyParser.sourceTags(fileNames));
+        } finally {
+            for (Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+        }
     }
 
-    public String getTitleNodes() {
+    private List<String> mergeUploads(List<Path> paths, List<String> sources) throws IOException {
+        DependencyInterner interner = new DependencyInterner();
+        ConfigurationScopes mergedScopes = new ConfigurationScopes();
+        ResolvedVersions mergedVersions = new ResolvedVersions();
+        List<CompletableFuture<List<Map<String, Map<String, List<String>>>>>> parses = new ArrayList<>();
+        for (int i = 0; i < paths.size(); i++) {
+            Path path = paths.get(i);
+            String source = sources.get(i);
+            parses.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return DependencyParser.parseDependencies(path.toString(), 1000, source, interner, mergedScopes, mergedVersions);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+
+        // Every parse has to be over before the caller deletes the temp files, so wait for all of them before reporting a failure
+        try {
+            CompletableFuture.allOf(parses.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException ignored) {
+            // Rethrown below from the first failed parse, in upload order
+        }
+
+        List<Map<String, Map<String, List<String>>>> mergedChunks = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<Map<String, Map<String, List<String>>>>> parse : parses) {
+                mergedChunks.addAll(parse.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+
+        resetIndexes(mergedScopes, mergedVersions);
+        allChunks = mergedChunks;
+        indexChunks(allChunks);
+        detectCircularDependencies();
+        reachabilityIndex = ReachabilityIndex.build(allChunks, resolvedVersions);
+        return generateGraphs(allChunks, null, scopes.view(null, false));
+    }
+
+    private static Path saveUpload(MultipartFile file) throws IOException {
+        Path path = Files.createTempFile("dependencies-", ".log");
+        file.transferTo(path);
+        return path;
+    }
+
+    // Only files inside the configured watch directory can be tailed; relative paths are resolved against it
+    public synchronized void startWatching(String filePath) throws IOException {
+        Path root = Paths.get(watchDirectory).toAbsolutePath().normalize();
+        Path path = root.resolve(filePath).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Path is outside the watch directory: " + filePath);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("File not found: " + filePath);
+        }
+        // Symlinks are followed before checking again so they cannot point out of the directory
+        if (!path.toRealPath().startsWith(root.toRealPath())) {
+            throw new IllegalArgumentException("Path is outside the watch directory: " + filePath);
+        }
+        startLiveIngest();
+        watchedPath = path;
+        watchTask = watchExecutor.scheduleWithFixedDelay(() -> pollWatchedFile(path, false), 0, 1, TimeUnit.SECONDS);
+    }
+
+    public synchronized void appendToStream(String text) {
+        if (liveParser == null || watchTask != null) {
+            startLiveIngest();
+        }
+        liveParser.accept(text);
+    }
+
+    // Flushes the section still open when the watched file or stream ends
+    public synchronized void stopLiveIngest() {
+        if (watchTask != null) {
+            watchTask.cancel(false);
+            watchTask = null;
+            // Picks up whatever was written since the last poll, including a last line without a newline
+            pollWatchedFile(watchedPath, true);
+        }
+        if (liveParser != null) {
+            liveParser.finish();
+            liveParser = null;
+        }
+    }
+
+    private synchronized void startLiveIngest() {
+        stopLiveIngest();
+        ConfigurationScopes liveScopes = new ConfigurationScopes();
+        ResolvedVersions liveVersions = new ResolvedVersions();
+        resetIndexes(liveScopes, liveVersions);
+        dependencyGraph = new HashMap<>();
+        allChunks = new CopyOnWriteArrayList<>();
+        watchOffset = 0;
+        watchedPath = null;
+        watchError = null;
+        liveParser = new DependencyParser(1000, null, new DependencyInterner(), liveScopes, liveVersions, this::publishSection);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopLiveIngest();
+        watchExecutor.shutdownNow();
+    }
+
+    // finalRead hands over everything up to the end of the file, the poll runs only complete lines
+    private synchronized void pollWatchedFile(Path path, boolean finalRead) {
+        // A poll queued before the watch was stopped or moved to another file has nothing left to do
+        if (liveParser == null || !path.equals(watchedPath)) {
+            return;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            long length = file.length();
+            if (length < watchOffset) {
+                // The file was truncated or replaced, start over
+                ScheduledFuture<?> task = watchTask;
+                watchTask = null;
+                startLiveIngest();
+                watchTask = task;
+                watchedPath = path;
+            }
+            byte[] buffer = new byte[64 * 1024];
+            while (watchOffset < length) {
+                file.seek(watchOffset);
+                int read = file.read(buffer, 0, (int) Math.min(buffer.length, length - watchOffset));
+                if (read <= 0) {
+                    break;
+                }
+                // Only hand over complete lines so a multi-byte character is never split
+                int end = read;
+                while (end > 0 && buffer[end - 1] != '\n' && !(finalRead && watchOffset + read == length)) {
+                    end--;
+                }
+                if (end == 0) {
+                    if (read < buffer.length) {
+                        break;
+                    }
+                    // A single line longer than the buffer: cut it before the last, possibly incomplete, character
+                    end = read;
+                    while (end > 0 && (buffer[end - 1] & 0xC0) == 0x80) {
+                        end--;
+                    }
+                    if (end > 0 && (buffer[end - 1] & 0x80) != 0) {
+                        end--;
+                    }
+                }
+                liveParser.accept(new String(buffer, 0, end, StandardCharsets.UTF_8));
+                watchOffset += end;
+            }
+            watchError = null;
+        } catch (IOException e) {
+            // Polling goes on, the file may only be in the middle of being rotated
+            watchError = e.toString();
+            e.printStackTrace();
+        } catch (RuntimeException e) {
+            // Thrown out of the task this would cancel it silently; the parser state is unknown, so stop and keep the error for the status endpoint
+            watchError = e.toString();
+            e.printStackTrace();
+            if (watchTask != null) {
+                watchTask.cancel(false);
+                watchTask = null;
+            }
+            liveParser = null;
+        }
+    }
+
+    public synchronized Map<String, Object> getWatchStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("watching", watchTask != null);
+        status.put("streaming", liveParser != null && watchTask == null);
+        status.put("path", watchedPath != null ? watchedPath.toString() : null);
+        status.put("offset", watchOffset);
+        status.put("sections", allChunks != null ? allChunks.size() : 0);
+        status.put("error", watchError);
+        return status;
+    }
+
+    private synchronized void publishSection(String title, Map<String, List<String>> dependencies) {
+        reachabilityIndex = null;
+        Map<String, Map<String, List<String>>> chunk = new LinkedHashMap<>();
+        chunk.put(title, dependencies);
+        Map<String, Map<String, List<String>>> previous = findChunkForTitle(title);
+        if (previous != null) {
+            // A repeated title replaces its earlier section, as it does in /generate, so everything derived from it is rebuilt
+            allChunks.set(allChunks.indexOf(previous), chunk);
+            dependencyDetailsMap.clear();
+            circularEdges.clear();
+            searchIndex.clear();
+            titlesByNode.clear();
+            indexChunks(allChunks);
+            detectCircularDependencies();
+            return;
+        }
+        allChunks.add(chunk);
+        indexSection(title, dependencies);
+
+        Set<String> sectionNodes = new LinkedHashSet<>();
+        for (Map.Entry<String, List<String>> entry : dependencies.entrySet()) {
+            dependencyGraph.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+            sectionNodes.add(entry.getKey());
+        }
+        // Any new cycle has to pass through an edge of this section, so searching from its nodes is enough
+        Set<String> visited = new HashSet<>();
+        Set<String> recStack = new HashSet<>();
+        for (String node : sectionNodes) {
+            detectCycles(node, scopes.view(null, false), visited, recStack, new ArrayList<>(), circularEdges);
+        }
+    }
+
+    public ConfigurationScopes.View viewFor(String configurations, boolean excludeConstraints) {
+        if (configurations == null || configurations.isBlank()) {
+            return scopes.view(null, excludeConstraints);
+        }
+        return scopes.view(Arrays.asList(configurations.split(",")), excludeConstraints);
+    }
+
+    public String getTitleNodes(ConfigurationScopes.View view) {
         try {
             MutableGraph g = mutGraph("dependencies").setDirected(true).graphAttrs().add("rankdir", "TB");
             for (Map<String, Map<String, List<String>>> chunk : allChunks) {
                 for (String title : chunk.keySet()) {
+                    if (!view.allowsTitle(title)) continue;
                     MutableNode titleNode = mutNode(title).add(Shape.RECTANGLE, Label.of(title));
                     g.add(titleNode);
                 }
@@ -56,8 +342,8 @@ public class GraphService {
         }
     }
 
-    public List<String> getAutocompleteSuggestions(String term) {
-        List<String> allNodes = getAllNodesExcludingTitles();
+    public List<String> getAutocompleteSuggestions(String term, ConfigurationScopes.View view) {
+        List<String> allNodes = getAllNodesExcludingTitles(view);
         return allNodes.stream()
                 .filter(node -> node.toLowerCase().contains(term.toLowerCase()))
                 .limit(10)
@@ -68,22 +354,26 @@ public class GraphService {
 
 
 
-    public String getGraphDataWithFocus(String focusNode) {
+    public String getGraphDataWithFocus(String focusNode, ConfigurationScopes.View view) {
         if (allChunks == null || allChunks.isEmpty()) {
             return "";
         }
         try {
+            // Without a focus node the whole upload is rendered again through the view, like /generate but without re-uploading
+            if (focusNode == null || focusNode.isEmpty()) {
+                return String.join("\n", generateGraphs(allChunks, null, view));
+            }
             Map<String, Map<String, List<String>>> targetChunk = findChunkForTitle(focusNode);
-            if (targetChunk == null) {
+            if (targetChunk == null || !view.allowsTitle(focusNode)) {
                 return "Node not found";
             }
-            List<String> graphData = generateGraphs(Collections.singletonList(targetChunk), focusNode);
+            List<String> graphData = generateGraphs(Collections.singletonList(targetChunk), focusNode, view);
             String svgData = graphData.get(0);
 
             // Add circular edges information to the SVG
             StringBuilder svgBuilder = new StringBuilder(svgData);
             int insertIndex = svgBuilder.indexOf("</svg>");
-            svgBuilder.insert(insertIndex, "<metadata id='circular-edges'>" + String.join(",", circularEdges) + "</metadata>");
+            svgBuilder.insert(insertIndex, "<metadata id='circular-edges'>" + String.join(",", circularEdgesFor(view)) + "</metadata>");
 
             return svgBuilder.toString();
         } catch (IOException e) {
@@ -93,15 +383,15 @@ public class GraphService {
     }
 
 
-    public String getGraphDataForSearch(String searchTerm) {
+    public String getGraphDataForSearch(String searchTerm, ConfigurationScopes.View view) {
         if (allChunks == null || allChunks.isEmpty()) {
             return "";
         }
-        String titleNode = findTitleNodeForSearchTerm(searchTerm);
+        String titleNode = findTitleNodeForSearchTerm(searchTerm, view);
         if (titleNode == null) {
             return "Node not found";
         }
-        return getGraphDataWithFocus(titleNode);
+        return getGraphDataWithFocus(titleNode, view);
     }
 
     private Map<String, Map<String, List<String>>> findChunkForTitle(String title) {
@@ -113,11 +403,21 @@ public class GraphService {
         return null;
     }
 
-    private String findTitleNodeForSearchTerm(String searchTerm) {
+    private String findTitleNodeForSearchTerm(String searchTerm, ConfigurationScopes.View view) {
+        if (view.isAll()) {
+            List<String> titles = titlesByNode.get(searchTerm);
+            return titles == null || titles.isEmpty() ? null : titles.get(0);
+        }
         for (Map<String, Map<String, List<String>>> chunk : allChunks) {
             for (Map.Entry<String, Map<String, List<String>>> entry : chunk.entrySet()) {
+                if (!view.allowsTitle(entry.getKey())) continue;
                 Map<String, List<String>> dependencies = entry.getValue();
-                if (dependencies.containsKey(searchTerm) || dependencies.values().stream().anyMatch(list -> list.contains(searchTerm))) {
+                Set<String> visible = visibleNodes(entry.getKey(), dependencies, view);
+                if (visible != null) {
+                    if (visible.contains(searchTerm)) {
+                        return entry.getKey();
+                    }
+                } else if (dependencies.containsKey(searchTerm) || dependencies.values().stream().anyMatch(list -> list.contains(searchTerm))) {
                     return entry.getKey();
                 }
             }
@@ -125,17 +425,19 @@ public class GraphService {
         return null;
     }
 
-    private void generateSubGraph(Map.Entry<String, Map<String, List<String>>> titleEntry, MutableGraph g, Map<String, MutableNode> nodes, Set<String> uniqueEdges, String focusNode) {
+    private void generateSubGraph(Map.Entry<String, Map<String, List<String>>> titleEntry, MutableGraph g, Map<String, MutableNode> nodes, Set<String> uniqueEdges, String focusNode, ConfigurationScopes.View view, Set<String> circular) {
         String title = titleEntry.getKey();
         MutableNode titleNode = mutNode(title).add(Shape.RECTANGLE, Label.of(title));
         g.add(titleNode);
 
         Map<String, List<String>> dependencies = titleEntry.getValue();
         List<String> directChildren = dependencies.get(title);
+        Set<String> visible = visibleNodes(title, dependencies, view);
 
         for (Map.Entry<String, List<String>> entry : dependencies.entrySet()) {
             String parent = entry.getKey();
             if (parent.equals(title)) continue;
+            if (visible != null && !visible.contains(parent)) continue;
 
             MutableNode parentNode = nodes.computeIfAbsent(parent, k -> mutNode(parent).add(Shape.DOUBLE_OCTAGON));
             applyColor(parentNode, parent, focusNode);
@@ -145,7 +447,7 @@ public class GraphService {
                 parentNode.add(Label.of(parentDetails.toString()));
             }
 
-            if (directChildren != null && directChildren.contains(parent)) {
+            if (directChildren != null && directChildren.contains(parent) && view.allowsEdge(title, parent)) {
                 String titleToParentKey = title + "->" + parent;
                 if (uniqueEdges.add(titleToParentKey)) {
                     titleNode.addLink(parentNode);
@@ -153,12 +455,13 @@ public class GraphService {
             }
 
             for (String child : entry.getValue()) {
+                if (!view.allowsEdge(parent, child)) continue;
                 MutableNode childNode = nodes.computeIfAbsent(child, k -> mutNode(child).add(Shape.DOUBLE_OCTAGON));
                 applyColor(childNode, child, focusNode);
 
                 String parentToChildKey = parent + "->" + child;
                 if (uniqueEdges.add(parentToChildKey)) {
-                    if (circularEdges.contains(parentToChildKey)) {
+                    if (circular.contains(parentToChildKey)) {
                         parentNode.addLink(childNode).add(Color.RED, guru.nidi.graphviz.attribute.Style.BOLD);
                     } else {
                         parentNode.addLink(childNode).add(guru.nidi.graphviz.attribute.Style.SOLID);
@@ -183,12 +486,13 @@ public class GraphService {
         g.graphAttrs().add("concentrate", "true");
     }
 
-    private List<String> generateGraphs(List<Map<String, Map<String, List<String>>>> chunks, String focusNode) throws IOException {
+    private List<String> generateGraphs(List<Map<String, Map<String, List<String>>>> chunks, String focusNode, ConfigurationScopes.View view) throws IOException {
         GraphvizCmdLineEngine engine = new GraphvizCmdLineEngine();
         engine.timeout(600, TimeUnit.SECONDS);
         Graphviz.useEngine(engine);
 
         List<String> svgGraphs = new ArrayList<>();
+        Set<String> circular = circularEdgesFor(view);
 
         for (Map<String, Map<String, List<String>>> chunk : chunks) {
             MutableGraph g = mutGraph("dependencies").setDirected(true).graphAttrs().add("rankdir", "TB");
@@ -197,7 +501,8 @@ public class GraphService {
 
             if (focusNode == null || focusNode.isEmpty()) {
                 for (Map.Entry<String, Map<String, List<String>>> titleEntry : chunk.entrySet()) {
-                    generateSubGraph(titleEntry, g, nodes, uniqueEdges, null);
+                    if (!view.allowsTitle(titleEntry.getKey())) continue;
+                    generateSubGraph(titleEntry, g, nodes, uniqueEdges, null, view, circular);
                 }
             } else {
                 Map.Entry<String, Map<String, List<String>>> titleEntry = chunk.entrySet().stream()
@@ -205,7 +510,7 @@ public class GraphService {
                         .findFirst()
                         .orElse(null);
                 if (titleEntry != null) {
-                    generateSubGraph(titleEntry, g, nodes, uniqueEdges, focusNode);
+                    generateSubGraph(titleEntry, g, nodes, uniqueEdges, focusNode, view, circular);
                 }
             }
             applyLevelWiseLayout(g);
@@ -215,41 +520,71 @@ public class GraphService {
         return svgGraphs;
     }
 
-    private void populateDependencyDetailsMap(List<Map<String, Map<String, List<String>>>> allChunks) {
+    private void resetIndexes(ConfigurationScopes newScopes, ResolvedVersions newVersions) {
+        scopes = newScopes;
+        resolvedVersions = newVersions;
+        dependencyDetailsMap.clear();
+        circularEdges.clear();
+        searchIndex.clear();
+        titlesByNode.clear();
+        reachabilityIndex = null;
+    }
+
+    private void indexChunks(List<Map<String, Map<String, List<String>>>> allChunks) {
         for (Map<String, Map<String, List<String>>> chunk : allChunks) {
             for (Map.Entry<String, Map<String, List<String>>> titleEntry : chunk.entrySet()) {
-                String title = titleEntry.getKey();
-                for (Map.Entry<String, List<String>> entry : titleEntry.getValue().entrySet()) {
-                    String parent = entry.getKey();
-                    dependencyDetailsMap.putIfAbsent(parent, DependencyParser.parseDependencyDetails(parent, determineConfiguration(title)));
-
-                    for (String child : entry.getValue()) {
-                        dependencyDetailsMap.putIfAbsent(child, DependencyParser.parseDependencyDetails(child, determineConfiguration(title)));
-                    }
-                }
+                indexSection(titleEntry.getKey(), titleEntry.getValue());
             }
         }
     }
 
-    private String determineConfiguration(String title) {
-        if (title.contains("implementation")) {
-            return "implementation";
-        } else if (title.contains("api")) {
-            return "api";
-        } else if (title.contains("runtimeOnly")) {
-            return "runtimeOnly";
-        } else if (title.contains("testImplementation")) {
-            return "testImplementation";
-        } else if (title.contains("testRuntimeOnly")) {
-            return "testRuntimeOnly";
+    // Dependency details, the autocomplete node set and the node -> titles reverse index for one title
+    private void indexSection(String title, Map<String, List<String>> dependencies) {
+        Set<String> sectionNodes = new LinkedHashSet<>();
+        for (Map.Entry<String, List<String>> entry : dependencies.entrySet()) {
+            sectionNodes.add(entry.getKey());
+            sectionNodes.addAll(entry.getValue());
+        }
+        String configuration = scopes.configurationOfTitle(title);
+        for (String node : sectionNodes) {
+            dependencyDetailsMap.putIfAbsent(node, DependencyParser.parseDependencyDetails(node, configuration));
+            titlesByNode.computeIfAbsent(node, k -> new CopyOnWriteArrayList<>()).addIfAbsent(title);
+        }
+        searchIndex.addAll(sectionNodes);
+    }
+
+    // Nodes of one title that stay reachable from it when only edges allowed by the view are followed; null means all of them
+    private Set<String> visibleNodes(String title, Map<String, List<String>> dependencies, ConfigurationScopes.View view) {
+        if (view.isAll()) {
+            return null;
         }
-        return "implementation";
+        Set<String> visible = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.push(title);
+        while (!pending.isEmpty()) {
+            String node = pending.pop();
+            for (String child : dependencies.getOrDefault(node, Collections.emptyList())) {
+                if (view.allowsEdge(node, child) && visible.add(child)) {
+                    pending.push(child);
+                }
+            }
+        }
+        return visible;
     }
 
-    private List<String> getAllNodesExcludingTitles() {
+    private List<String> getAllNodesExcludingTitles(ConfigurationScopes.View view) {
+        if (view.isAll()) {
+            return new ArrayList<>(searchIndex);
+        }
         Set<String> allNodes = new HashSet<>();
         for (Map<String, Map<String, List<String>>> chunk : allChunks) {
             for (Map.Entry<String, Map<String, List<String>>> titleEntry : chunk.entrySet()) {
+                if (!view.allowsTitle(titleEntry.getKey())) continue;
+                Set<String> visible = visibleNodes(titleEntry.getKey(), titleEntry.getValue(), view);
+                if (visible != null) {
+                    allNodes.addAll(visible);
+                    continue;
+                }
                 allNodes.addAll(titleEntry.getValue().keySet());
                 for (List<String> children : titleEntry.getValue().values()) {
                     allNodes.addAll(children);
@@ -275,26 +610,33 @@ public class GraphService {
         }
     }
 
-    public List<String> getChildrenForNode(String node, String project) {
+    public List<String> getChildrenForNode(String node, String project, ConfigurationScopes.View view) {
         System.out.println("Searching for children of node: " + node + " in project: " + (project != null ? project : "all projects"));
         List<String> children = new ArrayList<>();
 
         for (Map<String, Map<String, List<String>>> chunk : allChunks) {
             for (Map.Entry<String, Map<String, List<String>>> titleEntry : chunk.entrySet()) {
                 String titleNode = titleEntry.getKey();
+                if (!view.allowsTitle(titleNode)) continue;
                 Map<String, List<String>> dependencies = titleEntry.getValue();
+                Set<String> visible = visibleNodes(titleNode, dependencies, view);
 
                 // Check if the node is a title node or matches the search term
                 if ((titleNode.equals(node) || titleNode.contains(node)) && (project == null || titleNode.startsWith(project))) {
-                    children.addAll(dependencies.getOrDefault(titleNode, Collections.emptyList()));
+                    dependencies.getOrDefault(titleNode, Collections.emptyList()).stream()
+                            .filter(child -> view.allowsEdge(titleNode, child))
+                            .forEach(children::add);
                     System.out.println("Found children for title node " + node + ": " + children);
                     return children;
                 }
 
                 // Check if the node is any dependency node
                 for (Map.Entry<String, List<String>> entry : dependencies.entrySet()) {
+                    if (visible != null && !visible.contains(entry.getKey())) continue;
                     if (entry.getKey().equals(node) || entry.getKey().contains(node)) {
-                        children.addAll(entry.getValue());
+                        entry.getValue().stream()
+                                .filter(child -> view.allowsEdge(entry.getKey(), child))
+                                .forEach(children::add);
                         System.out.println("Found children for dependency node " + node + ": " + children);
                         return children;
                     }
@@ -306,16 +648,20 @@ public class GraphService {
         return children;
     }
 
-    public List<String> getTitleNodesWithCircularDependencies() {
+    public List<String> getTitleNodesWithCircularDependencies(ConfigurationScopes.View view) {
         List<String> titleNodesWithCircularDependencies = new ArrayList<>();
+        Set<String> circular = circularEdgesFor(view);
         for (Map<String, Map<String, List<String>>> chunk : allChunks) {
             for (Map.Entry<String, Map<String, List<String>>> titleEntry : chunk.entrySet()) {
                 String titleNode = titleEntry.getKey();
+                if (!view.allowsTitle(titleNode)) continue;
+                Set<String> visible = visibleNodes(titleNode, titleEntry.getValue(), view);
                 for (Map.Entry<String, List<String>> entry : titleEntry.getValue().entrySet()) {
                     String parent = entry.getKey();
+                    if (visible != null && !parent.equals(titleNode) && !visible.contains(parent)) continue;
                     for (String child : entry.getValue()) {
                         String edge = parent + "->" + child;
-                        if (circularEdges.contains(edge)) {
+                        if (circular.contains(edge) && view.allowsEdge(parent, child)) {
                             titleNodesWithCircularDependencies.add(titleNode);
                             break;
                         }
@@ -335,20 +681,31 @@ public class GraphService {
                 }
             }
         }
+        dependencyGraph = graph;
+        circularEdges.addAll(findCircularEdges(scopes.view(null, false)));
+    }
+
+    private Set<String> circularEdgesFor(ConfigurationScopes.View view) {
+        return view.isAll() ? circularEdges : findCircularEdges(view);
+    }
+
+    private synchronized Set<String> findCircularEdges(ConfigurationScopes.View view) {
+        Set<String> edges = new HashSet<>();
         Set<String> visited = new HashSet<>();
         Set<String> recStack = new HashSet<>();
-        for (String node : graph.keySet()) {
-            detectCycles(node, graph, visited, recStack, new ArrayList<>());
+        for (String node : dependencyGraph.keySet()) {
+            detectCycles(node, view, visited, recStack, new ArrayList<>(), edges);
         }
+        return edges;
     }
 
-    private void detectCycles(String node, Map<String, List<String>> graph, Set<String> visited, Set<String> recStack, List<String> path) {
+    private void detectCycles(String node, ConfigurationScopes.View view, Set<String> visited, Set<String> recStack, List<String> path, Set<String> edges) {
         if (recStack.contains(node)) {
             int index = path.indexOf(node);
             if (index != -1) {
                 List<String> cycle = path.subList(index, path.size());
                 for (int i = 0; i < cycle.size(); i++) {
-                    circularEdges.add(cycle.get(i) + "->" + cycle.get((i + 1) % cycle.size()));
+                    edges.add(cycle.get(i) + "->" + cycle.get((i + 1) % cycle.size()));
                 }
             }
             return;
@@ -359,25 +716,60 @@ public class GraphService {
         visited.add(node);
         recStack.add(node);
         path.add(node);
-        List<String> children = graph.getOrDefault(node, Collections.emptyList());
+        List<String> children = dependencyGraph.getOrDefault(node, Collections.emptyList());
         for (String child : children) {
-            detectCycles(child, graph, visited, recStack, path);
+            if (!view.allowsEdge(node, child)) continue;
+            detectCycles(child, view, visited, recStack, path, edges);
         }
         recStack.remove(node);
         path.remove(path.size() - 1);
     }
 
-    public List<String> getTitleNodesForDependency(String dependency) {
+    public List<String> getTitleNodesForDependency(String dependency, ConfigurationScopes.View view) {
+        if (view.isAll()) {
+            List<String> titles = titlesByNode.get(dependency);
+            return titles == null ? new ArrayList<>() : new ArrayList<>(titles);
+        }
         List<String> titleNodes = new ArrayList<>();
         for (Map<String, Map<String, List<String>>> chunk : allChunks) {
             for (Map.Entry<String, Map<String, List<String>>> entry : chunk.entrySet()) {
                 String titleNode = entry.getKey();
+                if (!view.allowsTitle(titleNode)) continue;
                 Map<String, List<String>> dependencies = entry.getValue();
-                if (dependencies.containsKey(dependency) || dependencies.values().stream().anyMatch(list -> list.contains(dependency))) {
+                Set<String> visible = visibleNodes(titleNode, dependencies, view);
+                if (visible != null ? visible.contains(dependency) : dependencies.containsKey(dependency) || dependencies.values().stream().anyMatch(list -> list.contains(dependency))) {
                     titleNodes.add(titleNode);
                 }
             }
         }
         return titleNodes;
     }
+
+    // Reachability never leaves a title and every edge of a title carries that title's configuration bit,
+    // so filtering titles by the view applies the edge masks as well
+    public List<String> getTransitiveDependents(String dependency, String versionRange, ConfigurationScopes.View view) {
+        ReachabilityIndex index = reachabilityIndex();
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        return index.getTransitiveDependents(dependency, versionRange, view.excludesConstraints()).stream()
+                .filter(view::allowsTitle)
+                .collect(Collectors.toList());
+    }
+
+    public List<String> getTransitiveDependencies(String title, String versionRange, ConfigurationScopes.View view) {
+        ReachabilityIndex index = reachabilityIndex();
+        if (index == null || !view.allowsTitle(title)) {
+            return Collections.emptyList();
+        }
+        return index.getTransitiveDependencies(title, versionRange, view.excludesConstraints());
+    }
+
+    // Published live sections only invalidate the index, it is rebuilt on the next query
+    private synchronized ReachabilityIndex reachabilityIndex() {
+        if (reachabilityIndex == null && allChunks != null) {
+            reachabilityIndex = ReachabilityIndex.build(allChunks, resolvedVersions);
+        }
+        return reachabilityIndex;
+    }
 }
\ No newline at end of file
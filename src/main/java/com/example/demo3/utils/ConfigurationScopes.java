@@ -0,0 +1,91 @@
+package com.example.demo3.utils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Filled in by DependencyParser: every configuration gets one bit and every "parent->child" edge
+// keeps the OR of the configurations it was seen under, so views can be switched without re-parsing.
+// A second mask only counts the occurrences that were not "(c)"/"(n)" entries, for views that exclude constraints.
+public class ConfigurationScopes {
+    // Bit 63 is shared by every configuration past the 63rd, which only ever widens a view
+    private static final int MAX_BITS = 64;
+
+    private final Map<String, Integer> configurationBits = new ConcurrentHashMap<>();
+    private final AtomicInteger nextBit = new AtomicInteger();
+    private final Map<String, Long> edgeMasks = new ConcurrentHashMap<>();
+    private final Map<String, Long> dependencyEdgeMasks = new ConcurrentHashMap<>();
+    private final Map<String, String> titleConfigurations = new ConcurrentHashMap<>();
+
+    public void recordTitle(String title, String configuration) {
+        titleConfigurations.put(title, configuration);
+        bitOf(configuration);
+    }
+
+    // constraint tells whether the full log entry, which still has its marker, was a "(c)"/"(n)" entry
+    public void recordEdge(String parent, String child, String configuration, boolean constraint) {
+        long bit = bitOf(configuration);
+        edgeMasks.merge(parent + "->" + child, bit, (a, b) -> a | b);
+        if (!constraint) {
+            dependencyEdgeMasks.merge(parent + "->" + child, bit, (a, b) -> a | b);
+        }
+    }
+
+    public String configurationOfTitle(String title) {
+        return titleConfigurations.getOrDefault(title, "implementation");
+    }
+
+    public View view(Collection<String> configurations, boolean excludeConstraints) {
+        if (configurations == null || configurations.isEmpty()) {
+            return new View(-1L, excludeConstraints);
+        }
+        long mask = 0L;
+        for (String configuration : configurations) {
+            Integer bit = configurationBits.get(configuration.trim());
+            if (bit != null) {
+                mask |= 1L << bit;
+            }
+        }
+        return new View(mask, excludeConstraints);
+    }
+
+    private long bitOf(String configuration) {
+        int bit = configurationBits.computeIfAbsent(configuration, k -> Math.min(nextBit.getAndIncrement(), MAX_BITS - 1));
+        return 1L << bit;
+    }
+
+    public class View {
+        private final long mask;
+        private final boolean excludeConstraints;
+
+        private View(long mask, boolean excludeConstraints) {
+            this.mask = mask;
+            this.excludeConstraints = excludeConstraints;
+        }
+
+        public boolean isAll() {
+            return mask == -1L && !excludeConstraints;
+        }
+
+        public boolean excludesConstraints() {
+            return excludeConstraints;
+        }
+
+        public boolean allowsTitle(String title) {
+            if (mask == -1L) {
+                return true;
+            }
+            Integer bit = configurationBits.get(configurationOfTitle(title));
+            return bit != null && (mask & (1L << bit)) != 0;
+        }
+
+        public boolean allowsEdge(String parent, String child) {
+            if (isAll()) {
+                return true;
+            }
+            Long edgeMask = (excludeConstraints ? dependencyEdgeMasks : edgeMasks).get(parent + "->" + child);
+            return edgeMask != null && (edgeMask & mask) != 0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo3.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shared across parsers so coordinates and identical child lists from different logs are stored once
+public class DependencyInterner {
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+    private final Map<List<String>, List<String>> childLists = new ConcurrentHashMap<>();
+
+    public String intern(String name) {
+        String existing = names.putIfAbsent(name, name);
+        return existing != null ? existing : name;
+    }
+
+    public List<String> internChildren(List<String> children) {
+        List<String> copy = List.copyOf(children);
+        List<String> existing = childLists.putIfAbsent(copy, copy);
+        return existing != null ? existing : copy;
+    }
+}
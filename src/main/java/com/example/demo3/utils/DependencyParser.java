@@ -1,98 +1,208 @@
 package com.example.demo3.utils;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class DependencyParser {
-    public static List<Map<String, Map<String, List<String>>>> parseDependencies(String filePath, int chunkSize) throws IOException {
-        List<Map<String, Map<String, List<String>>>> allChunks = new ArrayList<>();
-        Map<String, Map<String, List<String>>> currentChunk = new LinkedHashMap<>();
-        Map<String, List<String>> dependencies = null;
-        Deque<DependencyNode> stack = new ArrayDeque<>();
-        boolean parsingDependencies = false;
-        String currentTitle = null;
-        String currentProject = null;
+    private static final Pattern TITLE_CONFIGURATION = Pattern.compile("(\\w+) - ");
 
-        int lineCount = 0;
+    private final int chunkSize;
+    private final String source;
+    private final DependencyInterner interner;
+    private final ConfigurationScopes scopes;
+    private final ResolvedVersions resolvedVersions;
+    private final BiConsumer<String, Map<String, List<String>>> sectionListener;
 
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            String currentConfiguration = "implementation"; // Default configuration
+    private final List<Map<String, Map<String, List<String>>>> allChunks = new ArrayList<>();
+    private Map<String, Map<String, List<String>>> currentChunk = new LinkedHashMap<>();
+    private Map<String, List<String>> dependencies = null;
+    private final Deque<DependencyNode> stack = new ArrayDeque<>();
+    private final StringBuilder pendingLine = new StringBuilder();
+    private boolean parsingDependencies = false;
+    private boolean expectingProject = false;
+    private String currentTitle = null;
+    private String currentProject = null;
+    private String currentConfiguration = "implementation"; // Default configuration
+    private int lineCount = 0;
+
+    // sectionListener, when set, receives every title together with its dependencies once no more lines can belong to it
+    public DependencyParser(int chunkSize, String source, DependencyInterner interner, ConfigurationScopes scopes, ResolvedVersions resolvedVersions, BiConsumer<String, Map<String, List<String>>> sectionListener) {
+        this.chunkSize = chunkSize;
+        this.source = source;
+        this.interner = interner;
+        this.scopes = scopes;
+        this.resolvedVersions = resolvedVersions;
+        this.sectionListener = sectionListener;
+    }
+
+    public static List<Map<String, Map<String, List<String>>>> parseDependencies(String filePath, int chunkSize) throws IOException {
+        return parseDependencies(filePath, chunkSize, null, new DependencyInterner(), new ConfigurationScopes(), new ResolvedVersions());
+    }
 
+    // source, when set, is prefixed to every title so merged logs stay distinguishable
+    public static List<Map<String, Map<String, List<String>>>> parseDependencies(String filePath, int chunkSize, String source, DependencyInterner interner, ConfigurationScopes scopes, ResolvedVersions resolvedVersions) throws IOException {
+        DependencyParser parser = new DependencyParser(chunkSize, source, interner, scopes, resolvedVersions, null);
+        // UTF-8 like the live path, whatever the platform default is
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(Files.newInputStream(Paths.get(filePath)), StandardCharsets.UTF_8))) {
+            String line;
             while ((line = br.readLine()) != null) {
-                if (line.startsWith("------------------------------------------------------------")) {
-                    line = br.readLine(); // Read the next line for project name
-                    if (line != null && (line.startsWith("Project") || line.startsWith("Root project"))) {
-                        currentProject = line.trim();
-                        continue;
-                    }
-                }
+                parser.acceptLine(line);
+            }
+        }
+        return parser.finish();
+    }
 
-                if (line.startsWith("> Task")) {
-                    continue;
-                }
+    // One source tag per uploaded file: its base name, with "#2", "#3", ... added when the same name comes again
+    public static List<String> sourceTags(List<String> fileNames) {
+        List<String> tags = new ArrayList<>();
+        Map<String, Integer> nameCounts = new HashMap<>();
+        for (String fileName : fileNames) {
+            String name = fileName != null ? Paths.get(fileName).getFileName().toString() : "upload";
+            int count = nameCounts.merge(name, 1, Integer::sum);
+            tags.add(count == 1 ? name : name + "#" + count);
+        }
+        return tags;
+    }
 
-                if (line.contains(" - implementation") || line.contains(" - api") || line.contains(" - runtimeOnly") || line.contains(" - testImplementation") || line.contains(" - testRuntimeOnly")) {
-                    currentConfiguration = parseConfiguration(line);
-                    continue;
+    // Accepts arbitrary slices of the log; a trailing partial line is kept until the rest of it arrives
+    public void accept(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                int end = pendingLine.length();
+                if (end > 0 && pendingLine.charAt(end - 1) == '\r') {
+                    pendingLine.setLength(end - 1);
                 }
+                acceptLine(pendingLine.toString());
+                pendingLine.setLength(0);
+            } else {
+                pendingLine.append(c);
+            }
+        }
+    }
 
-                if (line.startsWith("Resolved dependencies:") || line.contains(" - ")) {
-                    parsingDependencies = true;
-                    currentTitle = currentProject + ": " + line.trim();
-                    dependencies = new LinkedHashMap<>();
-                    currentChunk.put(currentTitle, dependencies);
-                    dependencies.put(currentTitle, new ArrayList<>());
-                    System.out.println("Parsing dependencies for: " + currentTitle);// Initialize list for direct children
-                    continue;
-                }
+    public void acceptLine(String line) {
+        if (expectingProject) {
+            expectingProject = false;
+            if (line.startsWith("Project") || line.startsWith("Root project")) {
+                completeSection();
+                parsingDependencies = false;
+                currentProject = line.trim();
+                return;
+            }
+        }
 
-                if (!parsingDependencies || line.trim().isEmpty()) {
-                    continue;
-                }
+        if (line.startsWith("------------------------------------------------------------")) {
+            expectingProject = true; // The next line carries the project name
+            return;
+        }
 
-                if (line.startsWith("+---") || line.startsWith("\\---")) {
-                    String dependency = stripPrefix(line).replaceAll("->.*", "").trim();
-                    DependencyNode node = new DependencyNode(dependency, getIndentLevel(line), parseDependencyDetails(dependency, currentConfiguration));
-                    stack.clear();
-                    stack.push(node);
-                    dependencies.putIfAbsent(node.name, new ArrayList<>());
-                    dependencies.get(currentTitle).add(node.name); // Add this line to identify direct children of the title node
-                } else {
-                    int indentLevel = getIndentLevel(line);
-                    String dependency = stripPrefix(line).replaceAll("->.*", "").trim();
-
-                    while (!stack.isEmpty() && indentLevel <= stack.peek().indentLevel) {
-                        stack.pop();
-                    }
-
-                    if (!stack.isEmpty()) {
-                        DependencyNode parent = stack.peek();
-                        dependencies.computeIfAbsent(parent.name, k -> new ArrayList<>()).add(dependency);
-                        dependencies.putIfAbsent(dependency, new ArrayList<>());
-                        stack.push(new DependencyNode(dependency, indentLevel, parseDependencyDetails(dependency, currentConfiguration)));
-                    }
-                }
+        if (line.startsWith("> Task")) {
+            return;
+        }
 
-                lineCount++;
-                if (lineCount >= chunkSize) {
-                    allChunks.add(currentChunk);
-                    currentChunk = new LinkedHashMap<>();
-                    lineCount = 0;
-                }
+        if (line.contains(" - implementation") || line.contains(" - api") || line.contains(" - runtimeOnly") || line.contains(" - testImplementation") || line.contains(" - testRuntimeOnly")) {
+            currentConfiguration = parseConfiguration(line);
+            return;
+        }
+
+        if (line.startsWith("Resolved dependencies:") || line.contains(" - ")) {
+            completeSection();
+            parsingDependencies = true;
+            Matcher configurationMatcher = TITLE_CONFIGURATION.matcher(line);
+            if (configurationMatcher.find()) {
+                currentConfiguration = configurationMatcher.group(1);
+            }
+            currentTitle = interner.intern((source != null ? "[" + source + "] " : "") + currentProject + ": " + line.trim());
+            scopes.recordTitle(currentTitle, currentConfiguration);
+            // A repeated title replaces its earlier section, even when that one went into an earlier chunk
+            for (Map<String, Map<String, List<String>>> chunk : allChunks) {
+                chunk.remove(currentTitle);
+            }
+            resolvedVersions.clear(currentTitle);
+            dependencies = new LinkedHashMap<>();
+            currentChunk.put(currentTitle, dependencies);
+            dependencies.put(currentTitle, new ArrayList<>());
+            System.out.println("Parsing dependencies for: " + currentTitle);// Initialize list for direct children
+            return;
+        }
+
+        if (!parsingDependencies || line.trim().isEmpty()) {
+            return;
+        }
+
+        if (line.startsWith("+---") || line.startsWith("\\---")) {
+            String entry = stripPrefix(line);
+            String dependency = interner.intern(entry.replaceAll("->.*", "").trim());
+            resolvedVersions.record(currentTitle, dependency, entry);
+            DependencyNode node = new DependencyNode(dependency, getIndentLevel(line), parseDependencyDetails(dependency, currentConfiguration));
+            stack.clear();
+            stack.push(node);
+            dependencies.putIfAbsent(node.name, new ArrayList<>());
+            dependencies.get(currentTitle).add(node.name); // Add this line to identify direct children of the title node
+            scopes.recordEdge(currentTitle, node.name, currentConfiguration, ResolvedVersions.isConstraint(entry));
+        } else {
+            int indentLevel = getIndentLevel(line);
+            String entry = stripPrefix(line);
+            String dependency = interner.intern(entry.replaceAll("->.*", "").trim());
+
+            while (!stack.isEmpty() && indentLevel <= stack.peek().indentLevel) {
+                stack.pop();
+            }
+
+            if (!stack.isEmpty()) {
+                DependencyNode parent = stack.peek();
+                dependencies.computeIfAbsent(parent.name, k -> new ArrayList<>()).add(dependency);
+                scopes.recordEdge(parent.name, dependency, currentConfiguration, ResolvedVersions.isConstraint(entry));
+                resolvedVersions.record(currentTitle, dependency, entry);
+                dependencies.putIfAbsent(dependency, new ArrayList<>());
+                stack.push(new DependencyNode(dependency, indentLevel, parseDependencyDetails(dependency, currentConfiguration)));
             }
         }
 
+        lineCount++;
+        if (lineCount >= chunkSize) {
+            allChunks.add(currentChunk);
+            currentChunk = new LinkedHashMap<>();
+            lineCount = 0;
+        }
+    }
+
+    public List<Map<String, Map<String, List<String>>>> finish() {
+        if (pendingLine.length() > 0) {
+            acceptLine(pendingLine.toString());
+            pendingLine.setLength(0);
+        }
+        completeSection();
+
         if (!currentChunk.isEmpty()) {
             allChunks.add(currentChunk);
             System.out.println("Added final chunk: " + currentChunk);
+            currentChunk = new LinkedHashMap<>();
         }
-
+        allChunks.removeIf(Map::isEmpty);
         return allChunks;
     }
 
+    private void completeSection() {
+        if (dependencies == null) {
+            return;
+        }
+        dependencies.replaceAll((parent, children) -> interner.internChildren(children));
+        if (sectionListener != null) {
+            sectionListener.accept(currentTitle, dependencies);
+        }
+        dependencies = null;
+    }
+
     private static String stripPrefix(String line) {
         int index = line.indexOf("---");
         return (index != -1) ? line.substring(index + 3).trim() : line.trim();
@@ -0,0 +1,158 @@
+package com.example.demo3.utils;
+
+import java.util.*;
+
+// Built once after parsing. Reachability is worked out inside each title's own report, where entries are merged by
+// resolved coordinate so a "(*)" entry continues at its earlier expansion and cycles simply stop at visited nodes.
+// Constraint-only "(c)" entries never count as pulled in; unresolved "(n)" declarations can be left out per query.
+public class ReachabilityIndex {
+    private final List<String> coordinates = new ArrayList<>();
+    private final Map<String, Integer> coordinateIds = new HashMap<>();
+    private final Map<String, List<Integer>> moduleIds = new HashMap<>();
+    private final List<String> titles = new ArrayList<>();
+    private final Map<String, Integer> titleIds = new HashMap<>();
+    private final Map<String, BitSet> reachableByTitle = new HashMap<>();
+    private final Map<String, BitSet> strictReachableByTitle = new HashMap<>();
+    private final List<BitSet> dependentsByCoordinate = new ArrayList<>();
+    private final List<BitSet> strictDependentsByCoordinate = new ArrayList<>();
+
+    public static ReachabilityIndex build(List<Map<String, Map<String, List<String>>>> chunks, ResolvedVersions resolvedVersions) {
+        ReachabilityIndex index = new ReachabilityIndex();
+        for (Map<String, Map<String, List<String>>> chunk : chunks) {
+            for (Map.Entry<String, Map<String, List<String>>> titleEntry : chunk.entrySet()) {
+                index.addTitle(titleEntry.getKey(), titleEntry.getValue(), resolvedVersions);
+            }
+        }
+        return index;
+    }
+
+    public List<String> getTransitiveDependents(String dependency, String versionRange, boolean excludeConstraints) {
+        List<BitSet> dependentsIndex = excludeConstraints ? strictDependentsByCoordinate : dependentsByCoordinate;
+        BitSet dependents = new BitSet(titles.size());
+        for (int node : matchingCoordinates(dependency, versionRange)) {
+            dependents.or(dependentsIndex.get(node));
+        }
+        List<String> result = new ArrayList<>();
+        for (int title = dependents.nextSetBit(0); title >= 0; title = dependents.nextSetBit(title + 1)) {
+            result.add(titles.get(title));
+        }
+        return result;
+    }
+
+    public List<String> getTransitiveDependencies(String title, String versionRange, boolean excludeConstraints) {
+        BitSet reachable = (excludeConstraints ? strictReachableByTitle : reachableByTitle).get(title);
+        if (reachable == null) {
+            return Collections.emptyList();
+        }
+        VersionRange range = versionRange != null ? VersionRange.parse(versionRange) : null;
+        List<String> result = new ArrayList<>();
+        for (int node = reachable.nextSetBit(0); node >= 0; node = reachable.nextSetBit(node + 1)) {
+            String coordinate = coordinates.get(node);
+            if (range == null || range.contains(versionOf(coordinate))) {
+                result.add(coordinate);
+            }
+        }
+        return result;
+    }
+
+    public static String coordinateOf(String node) {
+        String coordinate = node.trim();
+        while (coordinate.endsWith("(*)") || coordinate.endsWith("(c)") || coordinate.endsWith("(n)")) {
+            coordinate = coordinate.substring(0, coordinate.length() - 3).trim();
+        }
+        return coordinate;
+    }
+
+    private void addTitle(String title, Map<String, List<String>> dependencies, ResolvedVersions resolvedVersions) {
+        // A repeated title replaces its earlier report, as it does in the parsed chunks
+        Integer previousId = titleIds.get(title);
+        if (previousId != null) {
+            dependentsByCoordinate.forEach(dependents -> dependents.clear(previousId));
+            strictDependentsByCoordinate.forEach(dependents -> dependents.clear(previousId));
+        }
+
+        Map<String, List<String>> childrenByCoordinate = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : dependencies.entrySet()) {
+            if (entry.getKey().equals(title)) continue;
+            childrenByCoordinate.computeIfAbsent(resolvedVersions.resolve(title, entry.getKey()), k -> new ArrayList<>()).addAll(entry.getValue());
+        }
+        List<String> roots = dependencies.getOrDefault(title, Collections.emptyList());
+        BitSet reachable = reach(title, roots, childrenByCoordinate, resolvedVersions, false);
+        BitSet strictReachable = reach(title, roots, childrenByCoordinate, resolvedVersions, true);
+
+        int titleId = previousId != null ? previousId : titles.size();
+        if (previousId == null) {
+            titles.add(title);
+            titleIds.put(title, titleId);
+        }
+        reachableByTitle.put(title, reachable);
+        strictReachableByTitle.put(title, strictReachable);
+        for (int node = reachable.nextSetBit(0); node >= 0; node = reachable.nextSetBit(node + 1)) {
+            dependentsByCoordinate.get(node).set(titleId);
+        }
+        for (int node = strictReachable.nextSetBit(0); node >= 0; node = strictReachable.nextSetBit(node + 1)) {
+            strictDependentsByCoordinate.get(node).set(titleId);
+        }
+    }
+
+    private BitSet reach(String title, List<String> roots, Map<String, List<String>> childrenByCoordinate, ResolvedVersions resolvedVersions, boolean excludeConstraints) {
+        BitSet reachable = new BitSet();
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            String entry = resolvedVersions.entryOf(title, pending.pop());
+            if (entry.endsWith("(c)") || (excludeConstraints && entry.endsWith("(n)"))) {
+                continue;
+            }
+            String coordinate = ResolvedVersions.resolvedCoordinateOf(entry);
+            if (!visited.add(coordinate)) {
+                continue;
+            }
+            reachable.set(idOf(coordinate));
+            pending.addAll(childrenByCoordinate.getOrDefault(coordinate, Collections.emptyList()));
+        }
+        return reachable;
+    }
+
+    private List<Integer> matchingCoordinates(String dependency, String versionRange) {
+        String coordinate = coordinateOf(dependency);
+        if (versionRange == null) {
+            if (versionOf(coordinate) != null) {
+                Integer exact = coordinateIds.get(coordinate);
+                return exact != null ? Collections.singletonList(exact) : Collections.emptyList();
+            }
+            return moduleIds.getOrDefault(moduleOf(coordinate), Collections.emptyList());
+        }
+        VersionRange range = VersionRange.parse(versionRange);
+        List<Integer> matches = new ArrayList<>();
+        for (int node : moduleIds.getOrDefault(moduleOf(coordinate), Collections.emptyList())) {
+            if (range.contains(versionOf(coordinates.get(node)))) {
+                matches.add(node);
+            }
+        }
+        return matches;
+    }
+
+    private int idOf(String coordinate) {
+        Integer id = coordinateIds.get(coordinate);
+        if (id == null) {
+            id = coordinates.size();
+            coordinates.add(coordinate);
+            coordinateIds.put(coordinate, id);
+            moduleIds.computeIfAbsent(moduleOf(coordinate), k -> new ArrayList<>()).add(id);
+            dependentsByCoordinate.add(new BitSet());
+            strictDependentsByCoordinate.add(new BitSet());
+        }
+        return id;
+    }
+
+    private static String moduleOf(String coordinate) {
+        String[] parts = coordinate.split(":");
+        return parts.length > 2 ? parts[0] + ":" + parts[1] : coordinate;
+    }
+
+    private static String versionOf(String coordinate) {
+        String[] parts = coordinate.split(":");
+        return parts.length > 2 ? parts[2].trim() : null;
+    }
+}
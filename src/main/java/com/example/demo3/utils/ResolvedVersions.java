@@ -0,0 +1,54 @@
+package com.example.demo3.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Node names drop everything after "->", so the full log entry, with the resolved version and any marker, is kept here per title
+public class ResolvedVersions {
+    private final Map<String, Map<String, String>> entriesByTitle = new ConcurrentHashMap<>();
+
+    // The same node can appear in one title both as a real dependency and as a "(c)"/"(n)" entry; the real one is never overwritten
+    public void record(String title, String node, String entry) {
+        if (entry.contains("->")) {
+            entriesByTitle.computeIfAbsent(title, k -> new ConcurrentHashMap<>())
+                    .merge(node, entry.trim(), (existing, added) -> isConstraint(added) && !isConstraint(existing) ? existing : added);
+        }
+    }
+
+    public static boolean isConstraint(String entry) {
+        String trimmed = entry.trim();
+        return trimmed.endsWith("(c)") || trimmed.endsWith("(n)");
+    }
+
+    public void clear(String title) {
+        entriesByTitle.remove(title);
+    }
+
+    public String entryOf(String title, String node) {
+        Map<String, String> entries = entriesByTitle.get(title);
+        String entry = entries != null ? entries.get(node) : null;
+        return entry != null ? entry : node;
+    }
+
+    public String resolve(String title, String node) {
+        return resolvedCoordinateOf(entryOf(title, node));
+    }
+
+    // "g:n:1.0 -> 1.2 (*)" resolves to "g:n:1.2", "g:n -> 3.0.2" to "g:n:3.0.2" and "g:n:1.0 -> h:m:2.0" to "h:m:2.0"
+    public static String resolvedCoordinateOf(String entry) {
+        int arrow = entry.indexOf("->");
+        String requested = ReachabilityIndex.coordinateOf(arrow == -1 ? entry : entry.substring(0, arrow));
+        if (arrow == -1) {
+            return requested;
+        }
+        String target = ReachabilityIndex.coordinateOf(entry.substring(arrow + 2));
+        if (target.contains(":")) {
+            return target;
+        }
+        String[] parts = requested.split(":");
+        if (parts.length < 2 || target.isEmpty()) {
+            return requested;
+        }
+        return parts[0] + ":" + parts[1] + ":" + target;
+    }
+}
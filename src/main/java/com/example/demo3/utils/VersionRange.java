@@ -0,0 +1,197 @@
+package com.example.demo3.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Accepts Maven style ranges such as "[2.0,2.15)", "(,2.17.1]" and "[2.14]", unions of them such as
+// "[2.0-beta9,2.3.1),[2.4,2.12.2)", or a bare version for an exact match
+public class VersionRange {
+    private static final Pattern TOKEN = Pattern.compile("\\d+|[a-z]+");
+    private static final int RELEASE = 5;
+    private static final int UNKNOWN_QUALIFIER = 7;
+
+    private final List<Interval> intervals;
+
+    private VersionRange(List<Interval> intervals) {
+        this.intervals = intervals;
+    }
+
+    public static VersionRange parse(String spec) {
+        String trimmed = spec.trim();
+        if (!trimmed.startsWith("[") && !trimmed.startsWith("(")) {
+            if (trimmed.isEmpty() || trimmed.matches(".*[\\[\\](),].*")) {
+                throw new IllegalArgumentException("Invalid version range: " + spec);
+            }
+            return new VersionRange(List.of(new Interval(trimmed, true, trimmed, true)));
+        }
+        List<Interval> intervals = new ArrayList<>();
+        int start = 0;
+        while (start < trimmed.length()) {
+            int close = indexOfClose(trimmed, start);
+            if (close == -1) {
+                throw new IllegalArgumentException("Invalid version range: " + spec);
+            }
+            intervals.add(parseInterval(trimmed.substring(start, close + 1), spec));
+            start = close + 1;
+            if (start < trimmed.length()) {
+                // Sub-ranges of a union are separated by a comma, as in "[1.0,2.0),[3.0,4.0)"
+                int next = start;
+                while (next < trimmed.length() && Character.isWhitespace(trimmed.charAt(next))) next++;
+                if (next >= trimmed.length() || trimmed.charAt(next) != ',') {
+                    throw new IllegalArgumentException("Invalid version range: " + spec);
+                }
+                next++;
+                while (next < trimmed.length() && Character.isWhitespace(trimmed.charAt(next))) next++;
+                if (next >= trimmed.length() || (trimmed.charAt(next) != '[' && trimmed.charAt(next) != '(')) {
+                    throw new IllegalArgumentException("Invalid version range: " + spec);
+                }
+                start = next;
+            }
+        }
+        return new VersionRange(intervals);
+    }
+
+    public boolean contains(String version) {
+        if (version == null) {
+            return false;
+        }
+        for (Interval interval : intervals) {
+            if (interval.contains(version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOfClose(String spec, int start) {
+        for (int i = start + 1; i < spec.length(); i++) {
+            char c = spec.charAt(i);
+            if (c == ']' || c == ')') {
+                return i;
+            }
+            if (c == '[' || c == '(') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static Interval parseInterval(String range, String spec) {
+        boolean lowerInclusive = range.startsWith("[");
+        boolean upperInclusive = range.endsWith("]");
+        String body = range.substring(1, range.length() - 1);
+        int comma = body.indexOf(',');
+        if (comma == -1) {
+            String version = body.trim();
+            if (version.isEmpty()) {
+                throw new IllegalArgumentException("Invalid version range: " + spec);
+            }
+            return new Interval(version, true, version, true);
+        }
+        if (body.indexOf(',', comma + 1) != -1) {
+            throw new IllegalArgumentException("Invalid version range: " + spec);
+        }
+        String lower = body.substring(0, comma).trim();
+        String upper = body.substring(comma + 1).trim();
+        return new Interval(lower.isEmpty() ? null : lower, lowerInclusive, upper.isEmpty() ? null : upper, upperInclusive);
+    }
+
+    // Ordering follows Maven's ComparableVersion: pre-release qualifiers sort below the release, numbers above any qualifier
+    public static int compareVersions(String a, String b) {
+        List<String> left = tokens(a);
+        List<String> right = tokens(b);
+        for (int i = 0; i < Math.max(left.size(), right.size()); i++) {
+            String l = i < left.size() ? left.get(i) : null;
+            String r = i < right.size() ? right.get(i) : null;
+            int cmp = compareTokens(l, r);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private static List<String> tokens(String version) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(version.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    // A missing token counts as 0 against a number and as the release itself against a qualifier
+    private static int compareTokens(String l, String r) {
+        boolean lNumeric = l != null && Character.isDigit(l.charAt(0));
+        boolean rNumeric = r != null && Character.isDigit(r.charAt(0));
+        if (lNumeric && rNumeric) {
+            return compareNumbers(l, r);
+        }
+        if (lNumeric) {
+            return r == null ? compareNumbers(l, "0") : 1;
+        }
+        if (rNumeric) {
+            return l == null ? compareNumbers("0", r) : -1;
+        }
+        int cmp = Integer.compare(qualifierRank(l), qualifierRank(r));
+        if (cmp != 0 || l == null || r == null) {
+            return cmp;
+        }
+        return qualifierRank(l) == UNKNOWN_QUALIFIER ? l.compareTo(r) : 0;
+    }
+
+    private static int compareNumbers(String l, String r) {
+        String ln = l.replaceFirst("^0+(?=.)", "");
+        String rn = r.replaceFirst("^0+(?=.)", "");
+        return ln.length() != rn.length() ? Integer.compare(ln.length(), rn.length()) : ln.compareTo(rn);
+    }
+
+    private static int qualifierRank(String qualifier) {
+        if (qualifier == null) {
+            return RELEASE;
+        }
+        switch (qualifier) {
+            case "alpha": case "a": return 0;
+            case "beta": case "b": return 1;
+            case "milestone": case "m": return 2;
+            case "rc": case "cr": return 3;
+            case "snapshot": return 4;
+            case "ga": case "final": case "release": return RELEASE;
+            case "sp": return 6;
+            default: return UNKNOWN_QUALIFIER;
+        }
+    }
+
+    private static class Interval {
+        private final String lower;
+        private final boolean lowerInclusive;
+        private final String upper;
+        private final boolean upperInclusive;
+
+        Interval(String lower, boolean lowerInclusive, String upper, boolean upperInclusive) {
+            this.lower = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        boolean contains(String version) {
+            if (lower != null) {
+                int cmp = compareVersions(version, lower);
+                if (cmp < 0 || (cmp == 0 && !lowerInclusive)) {
+                    return false;
+                }
+            }
+            if (upper != null) {
+                int cmp = compareVersions(version, upper);
+                if (cmp > 0 || (cmp == 0 && !upperInclusive)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo3.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphServiceTest {
+
+	private static final String COMPILE = "Project ':app': compileClasspath - Compile classpath for source set 'main'.";
+
+	@Test
+	void circularDependenciesFollowTheView() {
+		GraphService graphService = new GraphService();
+		graphService.appendToStream("------------------------------------------------------------\nProject ':app'\n------------------------------------------------------------\n\n"
+				+ "compileClasspath - Compile classpath for source set 'main'.\n"
+				+ "\\--- a:a:1\n"
+				+ "     \\--- b:b:1\n"
+				+ "          \\--- a:a:1\n"
+				+ "\n"
+				+ "runtimeClasspath - Runtime classpath of source set 'main'.\n"
+				+ "\\--- c:c:1\n");
+		graphService.stopLiveIngest();
+
+		assertTrue(graphService.getTitleNodesWithCircularDependencies(graphService.viewFor(null, false)).contains(COMPILE));
+		assertTrue(graphService.getTitleNodesWithCircularDependencies(graphService.viewFor("compileClasspath", false)).contains(COMPILE));
+		assertEquals(List.of(), graphService.getTitleNodesWithCircularDependencies(graphService.viewFor("runtimeClasspath", false)));
+	}
+
+	@Test
+	void stoppingAWatchReadsWhatWasWrittenSinceTheLastPoll() throws IOException {
+		Path directory = Files.createTempDirectory("watch");
+		Path log = Files.writeString(directory.resolve("build.log"), "------------------------------------------------------------\nProject ':app'\n------------------------------------------------------------\n\n");
+		GraphService graphService = new GraphService();
+		ReflectionTestUtils.setField(graphService, "watchDirectory", directory.toString());
+		try {
+			graphService.startWatching("build.log");
+			Files.writeString(log, "compileClasspath - Compile classpath for source set 'main'.\n\\--- a:a:1", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+			graphService.stopLiveIngest();
+
+			assertEquals(List.of(COMPILE), graphService.getTitleNodesForDependency("a:a:1", graphService.viewFor(null, false)));
+		} finally {
+			graphService.shutdown();
+			Files.deleteIfExists(log);
+			Files.deleteIfExists(directory);
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.example.demo3.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigurationScopesTest {
+
+	@Test
+	void eachConfigurationGetsItsOwnBit() {
+		ConfigurationScopes scopes = new ConfigurationScopes();
+		scopes.recordTitle("compile", "compileClasspath");
+		scopes.recordTitle("runtime", "runtimeClasspath");
+		scopes.recordEdge("compile", "a:a:1", "compileClasspath", false);
+		scopes.recordEdge("runtime", "b:b:1", "runtimeClasspath", false);
+		scopes.recordEdge("a:a:1", "c:c:1", "compileClasspath", false);
+		scopes.recordEdge("a:a:1", "c:c:1", "runtimeClasspath", false);
+
+		ConfigurationScopes.View runtime = scopes.view(List.of("runtimeClasspath"), false);
+		assertTrue(runtime.allowsTitle("runtime"));
+		assertFalse(runtime.allowsTitle("compile"));
+		assertTrue(runtime.allowsEdge("runtime", "b:b:1"));
+		assertFalse(runtime.allowsEdge("compile", "a:a:1"));
+		assertTrue(runtime.allowsEdge("a:a:1", "c:c:1"));
+
+		ConfigurationScopes.View both = scopes.view(List.of("compileClasspath", " runtimeClasspath"), false);
+		assertTrue(both.allowsTitle("compile"));
+		assertTrue(both.allowsEdge("compile", "a:a:1"));
+		assertTrue(both.allowsEdge("runtime", "b:b:1"));
+	}
+
+	@Test
+	void emptyViewAllowsEverythingAndUnknownConfigurationsAllowNothing() {
+		ConfigurationScopes scopes = new ConfigurationScopes();
+		scopes.recordTitle("compile", "compileClasspath");
+		scopes.recordEdge("compile", "a:a:1", "compileClasspath", false);
+
+		assertTrue(scopes.view(null, false).isAll());
+		assertTrue(scopes.view(List.of(), false).allowsEdge("x", "y"));
+
+		ConfigurationScopes.View unknown = scopes.view(List.of("noSuchConfiguration"), false);
+		assertFalse(unknown.isAll());
+		assertFalse(unknown.allowsTitle("compile"));
+		assertFalse(unknown.allowsEdge("compile", "a:a:1"));
+	}
+
+	@Test
+	void configurationsPastTheSixtyThirdShareTheLastBit() {
+		ConfigurationScopes scopes = new ConfigurationScopes();
+		for (int i = 0; i < 70; i++) {
+			scopes.recordTitle("title" + i, "configuration" + i);
+			scopes.recordEdge("title" + i, "a:a:" + i, "configuration" + i, false);
+		}
+
+		ConfigurationScopes.View late = scopes.view(List.of("configuration69"), false);
+		assertTrue(late.allowsTitle("title63"));
+		assertTrue(late.allowsTitle("title69"));
+		assertTrue(late.allowsEdge("title64", "a:a:64"));
+		assertFalse(late.allowsTitle("title62"));
+		assertFalse(scopes.view(List.of("configuration62"), false).allowsTitle("title63"));
+	}
+
+	@Test
+	void constraintEdgesAreDroppedOnlyWhereTheyWereNeverARealDependency() {
+		ConfigurationScopes scopes = new ConfigurationScopes();
+		scopes.recordTitle("compile", "compileClasspath");
+		scopes.recordTitle("runtime", "runtimeClasspath");
+		scopes.recordEdge("g:bom:1.0", "x:y:1.0", "compileClasspath", true);
+		scopes.recordEdge("g:bom:1.0", "x:y:1.0", "runtimeClasspath", false);
+
+		assertTrue(scopes.view(List.of("compileClasspath"), false).allowsEdge("g:bom:1.0", "x:y:1.0"));
+		assertFalse(scopes.view(List.of("compileClasspath"), true).allowsEdge("g:bom:1.0", "x:y:1.0"));
+		assertTrue(scopes.view(List.of("runtimeClasspath"), true).allowsEdge("g:bom:1.0", "x:y:1.0"));
+		assertTrue(scopes.view(null, true).allowsEdge("g:bom:1.0", "x:y:1.0"));
+	}
+
+	@Test
+	void parserMarksConstraintEdgesFromTheFullEntry() {
+		ConfigurationScopes scopes = new ConfigurationScopes();
+		DependencyParser parser = new DependencyParser(1000, null, new DependencyInterner(), scopes, new ResolvedVersions(), null);
+		parser.accept("------------------------------------------------------------\nProject ':app'\n------------------------------------------------------------\n\n"
+				+ "compileClasspath - Compile classpath for source set 'main'.\n"
+				+ "\\--- g:bom:1.0\n"
+				+ "     +--- x:y:1.0 -> 1.2 (c)\n"
+				+ "     \\--- z:z:1.0\n");
+		parser.finish();
+
+		ConfigurationScopes.View strict = scopes.view(null, true);
+		assertFalse(strict.allowsEdge("g:bom:1.0", "x:y:1.0"));
+		assertTrue(strict.allowsEdge("g:bom:1.0", "z:z:1.0"));
+		assertTrue(scopes.view(null, false).allowsEdge("g:bom:1.0", "x:y:1.0"));
+	}
+
+}
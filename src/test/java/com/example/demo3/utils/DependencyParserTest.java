@@ -0,0 +1,142 @@
+package com.example.demo3.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyParserTest {
+
+	private static final List<String> LOGS = List.of("circular.log", "versionConflict.log", "scopeFilter.log", "dependencies.log", "Example1.log");
+
+	@Test
+	void slicedInputGivesTheSameChunksAsTheFile() throws IOException {
+		for (String log : LOGS) {
+			List<Map<String, Map<String, List<String>>>> expected = DependencyParser.parseDependencies(log, 1000);
+			String text = Files.readString(Path.of(log), StandardCharsets.UTF_8);
+			for (int sliceSize : new int[] {1, 7, 64, 4096}) {
+				DependencyParser parser = new DependencyParser(1000, null, new DependencyInterner(), new ConfigurationScopes(), new ResolvedVersions(), null);
+				for (int start = 0; start < text.length(); start += sliceSize) {
+					parser.accept(text.substring(start, Math.min(text.length(), start + sliceSize)));
+				}
+				assertEquals(expected, parser.finish(), log + " in slices of " + sliceSize);
+			}
+		}
+	}
+
+	@Test
+	void repeatedTitleReplacesItsEarlierSection() throws IOException {
+		List<Map<String, Map<String, List<String>>>> chunks = DependencyParser.parseDependencies("circular.log", 1000);
+		Map<String, List<String>> api = chunks.get(0).get("null: api - API dependencies for source set 'main'. (n)");
+
+		assertEquals(1, chunks.size());
+		assertEquals(2, chunks.get(0).size());
+		assertTrue(api.containsKey("node1"));
+		assertFalse(api.containsKey("com.fasterxml.jackson:jackson-bom:2.13.5"));
+	}
+
+	@Test
+	void sourceTagsNumberRepeatedFileNames() {
+		assertEquals(List.of("a.log", "b.log", "a.log#2", "a.log#3", "upload"), DependencyParser.sourceTags(Arrays.asList("a.log", "logs/b.log", "other/a.log", "a.log", null)));
+	}
+
+	@Test
+	void sourceIsPrefixedToEveryTitle() throws IOException {
+		List<Map<String, Map<String, List<String>>>> chunks = parse("circular.log", "circular.log#2", new DependencyInterner(), new ConfigurationScopes(), new ResolvedVersions());
+
+		assertEquals(Set.of("[circular.log#2] null: api - API dependencies for source set 'main'. (n)", "[circular.log#2] null: compileClasspath - Compile classpath for source set 'main'."), chunks.get(0).keySet());
+	}
+
+	@Test
+	void sharedInternerStoresIdenticalChildListsOnce() throws IOException {
+		DependencyInterner interner = new DependencyInterner();
+		Map<String, Map<String, List<String>>> first = parse("versionConflict.log", "a.log", interner, new ConfigurationScopes(), new ResolvedVersions()).get(0);
+		Map<String, Map<String, List<String>>> second = parse("versionConflict.log", "a.log#2", interner, new ConfigurationScopes(), new ResolvedVersions()).get(0);
+
+		for (Map.Entry<String, Map<String, List<String>>> title : first.entrySet()) {
+			Map<String, List<String>> other = second.get(title.getKey().replace("[a.log]", "[a.log#2]"));
+			for (Map.Entry<String, List<String>> node : title.getValue().entrySet()) {
+				if (!node.getKey().equals(title.getKey())) {
+					assertSame(node.getValue(), other.get(node.getKey()), node.getKey());
+				}
+			}
+		}
+	}
+
+	@Test
+	void concurrentParsesIntoSharedStateMatchSequentialParses() {
+		List<String> sources = DependencyParser.sourceTags(LOGS);
+		ConfigurationScopes sequentialScopes = new ConfigurationScopes();
+		ResolvedVersions sequentialVersions = new ResolvedVersions();
+		List<List<Map<String, Map<String, List<String>>>>> sequential = new ArrayList<>();
+		for (int i = 0; i < LOGS.size(); i++) {
+			sequential.add(parseUnchecked(LOGS.get(i), sources.get(i), new DependencyInterner(), sequentialScopes, sequentialVersions));
+		}
+
+		DependencyInterner interner = new DependencyInterner();
+		ConfigurationScopes concurrentScopes = new ConfigurationScopes();
+		ResolvedVersions concurrentVersions = new ResolvedVersions();
+		List<CompletableFuture<List<Map<String, Map<String, List<String>>>>>> parses = new ArrayList<>();
+		for (int i = 0; i < LOGS.size(); i++) {
+			String log = LOGS.get(i);
+			String source = sources.get(i);
+			parses.add(CompletableFuture.supplyAsync(() -> parseUnchecked(log, source, interner, concurrentScopes, concurrentVersions)));
+		}
+		List<List<Map<String, Map<String, List<String>>>>> concurrent = parses.stream().map(CompletableFuture::join).toList();
+
+		assertEquals(sequential, concurrent);
+		Set<String> configurations = new HashSet<>();
+		for (List<Map<String, Map<String, List<String>>>> chunks : sequential) {
+			for (Map<String, Map<String, List<String>>> chunk : chunks) {
+				for (String title : chunk.keySet()) {
+					assertEquals(sequentialScopes.configurationOfTitle(title), concurrentScopes.configurationOfTitle(title));
+					configurations.add(sequentialScopes.configurationOfTitle(title));
+				}
+			}
+		}
+		for (String configuration : configurations) {
+			for (boolean excludeConstraints : new boolean[] {false, true}) {
+				ConfigurationScopes.View sequentialView = sequentialScopes.view(List.of(configuration), excludeConstraints);
+				ConfigurationScopes.View concurrentView = concurrentScopes.view(List.of(configuration), excludeConstraints);
+				for (List<Map<String, Map<String, List<String>>>> chunks : sequential) {
+					for (Map<String, Map<String, List<String>>> chunk : chunks) {
+						for (Map.Entry<String, Map<String, List<String>>> title : chunk.entrySet()) {
+							assertEquals(sequentialView.allowsTitle(title.getKey()), concurrentView.allowsTitle(title.getKey()));
+							for (Map.Entry<String, List<String>> node : title.getValue().entrySet()) {
+								assertEquals(sequentialVersions.entryOf(title.getKey(), node.getKey()), concurrentVersions.entryOf(title.getKey(), node.getKey()));
+								for (String child : node.getValue()) {
+									assertEquals(sequentialView.allowsEdge(node.getKey(), child), concurrentView.allowsEdge(node.getKey(), child), node.getKey() + "->" + child);
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static List<Map<String, Map<String, List<String>>>> parse(String log, String source, DependencyInterner interner, ConfigurationScopes scopes, ResolvedVersions versions) throws IOException {
+		return DependencyParser.parseDependencies(log, 1000, source, interner, scopes, versions);
+	}
+
+	private static List<Map<String, Map<String, List<String>>>> parseUnchecked(String log, String source, DependencyInterner interner, ConfigurationScopes scopes, ResolvedVersions versions) {
+		try {
+			return parse(log, source, interner, scopes, versions);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
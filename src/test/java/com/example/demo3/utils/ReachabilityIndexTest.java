@@ -0,0 +1,100 @@
+package com.example.demo3.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReachabilityIndexTest {
+
+	private static final String HEADER = "------------------------------------------------------------\nProject ':app'\n------------------------------------------------------------\n\n";
+	private static final String COMPILE = "Project ':app': compileClasspath - Compile classpath for source set 'main'.";
+	private static final String RUNTIME = "Project ':app': runtimeClasspath - Runtime classpath of source set 'main'.";
+	private static final String API = "Project ':app': api - API dependencies for source set 'main'. (n)";
+
+	private static ReachabilityIndex index(String log) {
+		ResolvedVersions versions = new ResolvedVersions();
+		DependencyParser parser = new DependencyParser(1000, null, new DependencyInterner(), new ConfigurationScopes(), versions, null);
+		parser.accept(HEADER + log);
+		List<Map<String, Map<String, List<String>>>> chunks = parser.finish();
+		return ReachabilityIndex.build(chunks, versions);
+	}
+
+	@Test
+	void cycleIsFollowedOnceAndReachesEverything() {
+		ReachabilityIndex index = index("compileClasspath - Compile classpath for source set 'main'.\n"
+				+ "\\--- a:a:1\n"
+				+ "     \\--- b:b:1\n"
+				+ "          +--- a:a:1 (*)\n"
+				+ "          \\--- c:c:1\n");
+
+		assertEquals(List.of("a:a:1", "b:b:1", "c:c:1"), index.getTransitiveDependencies(COMPILE, null, false).stream().sorted().toList());
+		assertEquals(List.of(COMPILE), index.getTransitiveDependents("c:c", null, false));
+	}
+
+	@Test
+	void elidedSubtreeContinuesAtItsEarlierExpansionWithinTheSameTitle() {
+		ReachabilityIndex index = index("compileClasspath - Compile classpath for source set 'main'.\n"
+				+ "+--- a:a:1\n"
+				+ "|    \\--- b:b:1\n"
+				+ "\\--- c:c:1\n"
+				+ "     \\--- a:a:1 (*)\n"
+				+ "\n"
+				+ "runtimeClasspath - Runtime classpath of source set 'main'.\n"
+				+ "\\--- c:c:1\n"
+				+ "     \\--- a:a:1 (*)\n");
+
+		assertEquals(List.of(COMPILE), index.getTransitiveDependents("b:b:1", null, false));
+		assertEquals(List.of(COMPILE, RUNTIME), index.getTransitiveDependents("a:a", null, false));
+	}
+
+	@Test
+	void versionFiltersUseTheResolvedVersion() {
+		ReachabilityIndex index = index("compileClasspath - Compile classpath for source set 'main'.\n"
+				+ "+--- g:core:2.13.3 -> 2.13.5\n"
+				+ "\\--- g:bom -> 3.0.2\n");
+
+		assertEquals(List.of(COMPILE), index.getTransitiveDependents("g:core", "[2.13.5]", false));
+		assertEquals(List.of(), index.getTransitiveDependents("g:core", "[2.13.3]", false));
+		assertEquals(List.of(COMPILE), index.getTransitiveDependents("g:bom", "[3.0,3.1)", false));
+		assertEquals(List.of(COMPILE), index.getTransitiveDependents("g:core:2.13.5", null, false));
+	}
+
+	@Test
+	void constraintsNeverPullInAndUnresolvedDeclarationsCanBeExcluded() {
+		ReachabilityIndex index = index("api - API dependencies for source set 'main'. (n)\n"
+				+ "\\--- g:declared:1.0 (n)\n"
+				+ "\n"
+				+ "compileClasspath - Compile classpath for source set 'main'.\n"
+				+ "\\--- g:bom:1.0\n"
+				+ "     \\--- g:constrained:1.0 (c)\n");
+
+		assertEquals(List.of(), index.getTransitiveDependents("g:constrained", null, false));
+		assertEquals(List.of(API), index.getTransitiveDependents("g:declared", null, false));
+		assertEquals(List.of(), index.getTransitiveDependents("g:declared", null, true));
+		assertEquals(List.of("g:bom:1.0"), index.getTransitiveDependencies(COMPILE, null, true));
+	}
+
+	@Test
+	void constraintEntryDoesNotHideTheRealDependencyOnTheSameNode() {
+		String constraintLast = "compileClasspath - Compile classpath for source set 'main'.\n"
+				+ "+--- g:lib:1.0\n"
+				+ "|    \\--- x:y:1.0 -> 1.2\n"
+				+ "\\--- g:bom:1.0\n"
+				+ "     \\--- x:y:1.0 -> 1.2 (c)\n";
+		String constraintFirst = "compileClasspath - Compile classpath for source set 'main'.\n"
+				+ "+--- g:bom:1.0\n"
+				+ "|    \\--- x:y:1.0 -> 1.2 (c)\n"
+				+ "\\--- g:lib:1.0\n"
+				+ "     \\--- x:y:1.0 -> 1.2\n";
+		for (String log : List.of(constraintLast, constraintFirst)) {
+			ReachabilityIndex index = index(log);
+
+			assertEquals(List.of(COMPILE), index.getTransitiveDependents("x:y", "[1.2]", true));
+			assertTrue(index.getTransitiveDependencies(COMPILE, null, false).contains("x:y:1.2"));
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.example.demo3.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionRangeTest {
+
+	@Test
+	void inclusiveAndExclusiveBounds() {
+		VersionRange range = VersionRange.parse("[2.0,2.15)");
+		assertTrue(range.contains("2.0"));
+		assertTrue(range.contains("2.14.1"));
+		assertFalse(range.contains("1.9.9"));
+		assertFalse(range.contains("2.15"));
+		assertFalse(range.contains("2.15.0"));
+
+		VersionRange closed = VersionRange.parse("(2.0,2.15]");
+		assertFalse(closed.contains("2.0"));
+		assertTrue(closed.contains("2.15.0"));
+	}
+
+	@Test
+	void openBoundsAndExactVersions() {
+		assertTrue(VersionRange.parse("(,2.17.1]").contains("1.0"));
+		assertFalse(VersionRange.parse("(,2.17.1]").contains("2.17.2"));
+		assertTrue(VersionRange.parse("[2.17,)").contains("3.0"));
+		assertTrue(VersionRange.parse("[2.14]").contains("2.14.0"));
+		assertFalse(VersionRange.parse("2.14").contains("2.14.1"));
+		assertFalse(VersionRange.parse("[1.0,2.0)").contains(null));
+	}
+
+	@Test
+	void preReleaseQualifiersSortBelowTheRelease() {
+		VersionRange range = VersionRange.parse("[2.0,2.15)");
+		assertTrue(range.contains("2.15.0-rc1"));
+		assertTrue(range.contains("2.15.0-SNAPSHOT"));
+		assertFalse(range.contains("2.0-beta9"));
+
+		assertTrue(VersionRange.compareVersions("1.0-alpha", "1.0-beta") < 0);
+		assertTrue(VersionRange.compareVersions("1.0-rc1", "1.0-rc2") < 0);
+		assertTrue(VersionRange.compareVersions("1.0-rc1", "1.0-SNAPSHOT") < 0);
+		assertTrue(VersionRange.compareVersions("1.0-SNAPSHOT", "1.0") < 0);
+		assertTrue(VersionRange.compareVersions("1.0.1", "1.0-rc1") > 0);
+		assertTrue(VersionRange.compareVersions("31.0.1-jre", "31.0.1") > 0);
+		assertEquals(0, VersionRange.compareVersions("2.15", "2.15.0"));
+		assertTrue(VersionRange.compareVersions("1.10", "1.9") > 0);
+	}
+
+	@Test
+	void unionMatchesAnyOfItsRanges() {
+		VersionRange log4j = VersionRange.parse("[2.0-beta9,2.3.1),[2.4,2.12.2),[2.13.0,2.15.0)");
+		assertTrue(log4j.contains("2.0-beta9"));
+		assertTrue(log4j.contains("2.3"));
+		assertFalse(log4j.contains("2.3.1"));
+		assertTrue(log4j.contains("2.11.1"));
+		assertFalse(log4j.contains("2.12.2"));
+		assertTrue(log4j.contains("2.14.1"));
+		assertFalse(log4j.contains("2.15.0"));
+		assertTrue(VersionRange.parse("(,1.0] , [1.2,)").contains("1.3"));
+	}
+
+	@Test
+	void rejectsMalformedRanges() {
+		assertThrows(IllegalArgumentException.class, () -> VersionRange.parse("[1.0,2.0"));
+		assertThrows(IllegalArgumentException.class, () -> VersionRange.parse("[1.0,2.0)[3.0,4.0)"));
+		assertThrows(IllegalArgumentException.class, () -> VersionRange.parse("[1.0,2.0),"));
+		assertThrows(IllegalArgumentException.class, () -> VersionRange.parse("[1.0,2.0,3.0)"));
+		assertThrows(IllegalArgumentException.class, () -> VersionRange.parse("1.0,2.0"));
+		assertThrows(IllegalArgumentException.class, () -> VersionRange.parse("[]"));
+	}
+
+}